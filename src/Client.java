@@ -2,9 +2,11 @@ import java.io.*;
 
 public class Client{
     private static final String[] felt = new String[10];      //Max 10 felt i en linje
+    private static double maxSpeed = 0;                       //Høyeste fart funnet i readEdges
 
     public static void main(String[] args) throws IOException{
         Graph graph = new Graph(readNodes("./noder.txt"),readEdges("./kanter.txt"));
+        graph.initializeGeo(maxSpeed);
 
         //Nordkapp, Hattuvaara, Padborg, Florø
         int[] landmarks = {2151398, 4212646, 3264971, 2269305};
@@ -17,6 +19,12 @@ public class Client{
         System.out.println("Dijkstra\n------------");
         printResult(result, end, "./result1.txt");
 
+        start = System.nanoTime();
+        result = Path.astar(graph, rute[0], rute[1]);
+        end = System.nanoTime() - start;
+        System.out.println("\nA*\n------------");
+        printResult(result, end, "./result3.txt");
+
         File file = new File("./mapinfo.txt");
         int[][] fromLM;
         int[][] toLM;
@@ -89,7 +97,7 @@ public class Client{
     }
 
     /**
-     * Les inn kanter fra fil
+     * Les inn kanter fra fil, og finn høyeste fart i kartet
      * @param filepath filbane til kant-fil
      * @return et array av kanter
      */
@@ -102,6 +110,9 @@ public class Client{
             hsplit(str, 5);
             edges[i] = new Edge(Integer.parseInt(felt[0]),Integer.parseInt(felt[1]),
                     Integer.parseInt(felt[2]));
+            if(edges[i].getWeight() > 0){
+                maxSpeed = Math.max(maxSpeed, Double.parseDouble(felt[3]) / edges[i].getWeight());
+            }
         }
         br.close();
         return edges;
@@ -1,5 +1,6 @@
 import java.util.Comparator;
 import java.util.PriorityQueue;
+import java.util.function.IntUnaryOperator;
 
 /**
  * Klasse fylt med statiske metoder for søk i grafer
@@ -19,6 +20,50 @@ public class Path {
 
     public static Result alt(Graph graph, int[] landmarks, int[][] fromLM, int[][] toLM,
                              int start, int end){
+        return estimated(graph, start, end, index -> getDistEstimate(landmarks,fromLM,toLM,index,end));
+    }
+
+    /**
+     * Regn ut et estimat på en nodes distanse til mål
+     * @param landmarks landemerker å bruke
+     * @param fromLM tabell med distanser fra landemerker til alle nodene
+     * @param toLM tabell med distanser fra alle noder til landemerkene
+     * @param index noden å estimere avstand fra
+     * @param end slutt-node å estimere avstand til
+     * @return et estimat på avstanden.
+     */
+    private static int getDistEstimate(int[] landmarks, int[][] fromLM, int[][] toLM, int index, int end){
+        int estimate = 0;
+        int dist1,dist2;
+        for(int i=0; i<landmarks.length; i++){
+            dist1 = Math.max(fromLM[i][end] - fromLM[i][index], 0);
+            dist2 = toLM[i][index] - toLM[i][end];
+            estimate = Math.max(Math.max(dist1, dist2),estimate);
+        }
+        return estimate;
+    }
+
+    /**
+     * A* algoritme for korteste vei med luftlinje-avstand som estimat.
+     * Trenger ingen preprosessering, men grafen må ha kalt initializeGeo først.
+     * @param graph grafen det skal søkes i
+     * @param start start-node
+     * @param end slutt-node
+     * @return et Resultat-objekt med antall noder besøkt og slutt-noden
+     */
+    public static Result astar(Graph graph, int start, int end){
+        return estimated(graph, start, end, index -> graph.getGeoEstimate(index,end));
+    }
+
+    /**
+     * Hjelpe-metode for alt og astar, søker mot slutt-noden med et gitt estimat
+     * @param graph grafen det skal søkes i
+     * @param start start-node
+     * @param end slutt-node
+     * @param estimate estimat på distansen fra en node til slutt-noden
+     * @return et Resultat-objekt med antall noder besøkt og slutt-noden
+     */
+    private static Result estimated(Graph graph, int start, int end, IntUnaryOperator estimate){
         graph.initialize(start);
         Node current = graph.get(start);
         int visited = 0;
@@ -32,7 +77,7 @@ public class Path {
                 Node node = graph.get(e.getTo());
                 if(!node.isVisited()){
                     if(!node.isFound()){
-                        node.setDistToTarget(getDistEstimate(landmarks,fromLM,toLM,node.getIndex(),end));
+                        node.setDistToTarget(estimate.applyAsInt(node.getIndex()));
                         unvisited.add(node);
                         node.setFound(true);
                     }
@@ -55,26 +100,6 @@ public class Path {
         return null;
     }
 
-    /**
-     * Regn ut et estimat på en nodes distanse til mål
-     * @param landmarks landemerker å bruke
-     * @param fromLM tabell med distanser fra landemerker til alle nodene
-     * @param toLM tabell med distanser fra alle noder til landemerkene
-     * @param index noden å estimere avstand fra
-     * @param end slutt-node å estimere avstand til
-     * @return et estimat på avstanden.
-     */
-    private static int getDistEstimate(int[] landmarks, int[][] fromLM, int[][] toLM, int index, int end){
-        int estimate = 0;
-        int dist1,dist2;
-        for(int i=0; i<landmarks.length; i++){
-            dist1 = Math.max(fromLM[i][end] - fromLM[i][index], 0);
-            dist2 = toLM[i][index] - toLM[i][end];
-            estimate = Math.max(Math.max(dist1, dist2),estimate);
-        }
-        return estimate;
-    }
-
     /**
      * Dijkstra's algoritme for korteste vei
      * @param graph grafen å søke i
@@ -222,8 +247,16 @@ class Result {
  */
 class Graph {
     private final int INF = 1<<29;
+    //Minste krumningsradius til jordellipsoiden (meridianen ved ekvator), gir et estimat som aldri er for høyt
+    private final double RADIUS = 6335439;
+    //Avrunding i float-koordinatene kan gi opptil ~0.6 m for lang korde, trekkes fra så estimatet holder seg under
+    private final double MARGIN = 2;
     private final Node[] nodes;
     private final int n;
+    private float[] x;
+    private float[] y;
+    private float[] z;
+    private double maxSpeed = 0;
 
     Graph(Node[] nodes, Edge[] edges){
         this.nodes = nodes;
@@ -241,6 +274,40 @@ class Graph {
         return nodes[index];
     }
 
+    /**
+     * Lag tabell med nodenes posisjon som enhetsvektorer, brukes av astar.
+     * @param maxSpeed høyeste fart i grafen, lengde delt på kjøretid
+     */
+    void initializeGeo(double maxSpeed){
+        this.maxSpeed = maxSpeed;
+        x = new float[nodes.length];
+        y = new float[nodes.length];
+        z = new float[nodes.length];
+        for(Node node : nodes){
+            double lat = Math.toRadians(node.getLatitude());
+            double lon = Math.toRadians(node.getLongitude());
+            x[node.getIndex()] = (float) (Math.cos(lat) * Math.cos(lon));
+            y[node.getIndex()] = (float) (Math.cos(lat) * Math.sin(lon));
+            z[node.getIndex()] = (float) Math.sin(lat);
+        }
+    }
+
+    /**
+     * Regn ut et estimat på kjøretiden mellom to noder med korden mellom dem og høyeste fart i grafen.
+     * Korden er aldri lengre enn buen langs jordoverflaten. Uten initializeGeo blir estimatet 0.
+     * @param index noden å estimere avstand fra
+     * @param end slutt-node å estimere avstand til
+     * @return et estimat på kjøretiden som aldri er for høyt
+     */
+    int getGeoEstimate(int index, int end){
+        if(maxSpeed == 0){ return 0;}
+        double dx = x[index] - x[end];
+        double dy = y[index] - y[end];
+        double dz = z[index] - z[end];
+        double dist = Math.max(RADIUS * Math.sqrt(dx*dx + dy*dy + dz*dz) - MARGIN, 0);
+        return (int) (dist / maxSpeed);
+    }
+
     /**
      * Gjør grafen klar til et nytt søk, 'restarter' alle verdier til nodene.
      * @param start start-noden til det nye søket. Denne får distanse 0 og found blir sant